@@ -1,19 +1,29 @@
 package io.jenkins.plugins.luxair;
 
-import hudson.util.VersionNumber;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
 import io.jenkins.plugins.luxair.model.Ordering;
 import io.jenkins.plugins.luxair.model.ResultContainer;
+import io.jenkins.plugins.luxair.model.TagList;
 import kong.unirest.*;
 import kong.unirest.json.JSONObject;
 
+import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
 
@@ -21,6 +31,7 @@ public class ImageTag {
 
     private static final Logger logger = Logger.getLogger(ImageTag.class.getName());
     private static final Interceptor errorInterceptor = new ErrorInterceptor();
+    private static final int MAX_PARALLEL_REQUESTS = 8;
 
     private ImageTag() {
         throw new IllegalStateException("Utility class");
@@ -28,50 +39,112 @@ public class ImageTag {
 
     public static ResultContainer<List<String>> getTags(String image, String registry, String filter,
                                                         String user, String password, Ordering ordering) {
-        ResultContainer<List<String>> container = new ResultContainer<>(Collections.emptyList());
+        ResultContainer<List<String>> container = getTagView(image, registry, filter, user, password, ordering);
+        container.setValue(new ArrayList<>(container.getValue()));
+        return container;
+    }
+
+    /**
+     * Same as {@link #getTags(String, String, String, String, String, Ordering)}, but returns an unmodifiable view
+     * over the shared {@link TagList} of the image instead of a copy.
+     */
+    static ResultContainer<List<String>> getTagView(String image, String registry, String filter,
+                                                    String user, String password, Ordering ordering) {
+        UnirestInstance unirest = spawnUnirest();
+        try {
+            String[] authService = getAuthService(unirest, registry);
+            String token = getAuthToken(unirest, authService, Collections.singletonList(image), user, password);
+            return getTags(unirest, image, registry, filter, user, password, ordering, authService, token, false);
+        } finally {
+            unirest.shutDown();
+        }
+    }
 
-        String[] authService = getAuthService(registry);
-        String token = getAuthToken(authService, image, user, password);
-        ResultContainer<List<VersionNumber>> tags = getImageTagsFromRegistry(image, registry, authService[0], token);
+    public static Map<String, ResultContainer<List<String>>> getTags(List<String> images, String registry, String filter,
+                                                                     String user, String password, Ordering ordering) {
+        Map<String, ResultContainer<List<String>>> results = new LinkedHashMap<>();
+        if (images.isEmpty()) {
+            return results;
+        }
+
+        UnirestInstance unirest = spawnUnirest();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(images.size(), MAX_PARALLEL_REQUESTS),
+            new NamingThreadFactory(new DaemonThreadFactory(), ImageTag.class.getSimpleName()));
+        try {
+            String[] authService = getAuthService(unirest, registry);
+            String token = getAuthToken(unirest, authService, images, user, password);
+
+            Map<String, Future<ResultContainer<List<String>>>> futures = new LinkedHashMap<>();
+            for (String image : images) {
+                futures.put(image, executor.submit(() -> getTags(unirest, image, registry, filter, user, password,
+                    ordering, authService, token, images.size() > 1)));
+            }
+            for (Map.Entry<String, Future<ResultContainer<List<String>>>> future : futures.entrySet()) {
+                try {
+                    results.put(future.getKey(), future.getValue().get());
+                } catch (ExecutionException e) {
+                    ResultContainer<List<String>> container = new ResultContainer<>(Collections.emptyList());
+                    container.setErrorMsg(String.valueOf(e.getCause().getMessage()));
+                    results.put(future.getKey(), container);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warning("Interrupted while listing image tags of " + registry);
+        } finally {
+            executor.shutdownNow();
+            unirest.shutDown();
+        }
 
+        return results;
+    }
+
+    private static ResultContainer<List<String>> getTags(UnirestInstance unirest, String image, String registry,
+                                                         String filter, String user, String password,
+                                                         Ordering ordering, String[] authService, String token,
+                                                         boolean sharedToken) {
+        ResultContainer<List<String>> container = new ResultContainer<>(Collections.emptyList());
+
+        HttpResponse<JsonNode> response = requestImageTags(unirest, image, registry, authService[0], token);
+        if (sharedToken && authService[0].equals("Bearer")
+            && (response.getStatus() == HttpURLConnection.HTTP_UNAUTHORIZED
+                || response.getStatus() == HttpURLConnection.HTTP_FORBIDDEN)) {
+            // the registry may have ignored some scopes of the shared token, so retry with a dedicated one
+            logger.info("Retrying " + image + " with a dedicated token");
+            String imageToken = getAuthToken(unirest, authService, Collections.singletonList(image), user, password);
+            response = requestImageTags(unirest, image, registry, authService[0], imageToken);
+        }
+        ResultContainer<List<String>> tags = getImageTagsFromResponse(response);
         if (tags.getErrorMsg().isPresent()) {
             container.setErrorMsg(tags.getErrorMsg().get());
             return container;
         }
 
-        ResultContainer<List<String>> filterTags = filterTags(tags.getValue(), filter, ordering);
+        TagList tagList = TagStore.update(registry, image, tags.getValue());
+        ResultContainer<List<String>> filterTags = filterTags(tagList, filter, ordering);
         filterTags.getErrorMsg().ifPresent(container::setErrorMsg);
         container.setValue(filterTags.getValue());
         return container;
     }
 
-    private static ResultContainer<List<String>> filterTags(List<VersionNumber> tags, String filter, Ordering ordering) {
+    private static ResultContainer<List<String>> filterTags(TagList tags, String filter, Ordering ordering) {
         ResultContainer<List<String>> container = new ResultContainer<>(Collections.emptyList());
         logger.info("Ordering Tags according to: " + ordering);
 
-        if (ordering == Ordering.NATURAL || ordering == Ordering.REV_NATURAL) {
-            container.setValue(tags.stream()
-                .map(VersionNumber::toString)
-                .filter(tag -> tag.matches(filter))
-                .sorted(ordering == Ordering.NATURAL ? Collections.reverseOrder() : String::compareTo)
-                .collect(Collectors.toList()));
-        } else {
-            try {
-                container.setValue(tags.stream()
-                    .filter(tag -> tag.toString().matches(filter))
-                    .sorted(ordering == Ordering.ASC_VERSION ? VersionNumber::compareTo : VersionNumber.DESCENDING)
-                    .map(VersionNumber::toString)
-                    .collect(Collectors.toList()));
-            } catch (Exception ignore) {
-                logger.warning("Unable to cast ImageTags to versions! Versioned Ordering is not supported for this images tags.");
-                container.setErrorMsg("Unable to cast ImageTags to versions! Versioned Ordering is not supported for this images tags.");
-            }
+        try {
+            container.setValue(tags.filter(filter, ordering));
+        } catch (PatternSyntaxException e) {
+            logger.warning("Invalid tag filter: " + e.getDescription());
+            container.setErrorMsg("Invalid tag filter '" + filter + "': " + e.getDescription());
+        } catch (Exception ignore) {
+            logger.warning("Unable to cast ImageTags to versions! Versioned Ordering is not supported for this images tags.");
+            container.setErrorMsg("Unable to cast ImageTags to versions! Versioned Ordering is not supported for this images tags.");
         }
 
         return container;
     }
 
-    private static String[] getAuthService(String registry) {
+    private static String[] getAuthService(UnirestInstance unirest, String registry) {
 
         String[] rtn = new String[3];
         rtn[0] = ""; // type
@@ -79,11 +152,8 @@ public class ImageTag {
         rtn[2] = ""; // service
         String url = registry + "/v2/";
 
-        Unirest.config().reset();
-        Unirest.config().enableCookieManagement(false).interceptor(errorInterceptor);
-        String headerValue = Unirest.get(url).asEmpty()
+        String headerValue = unirest.get(url).asEmpty()
             .getHeaders().getFirst("Www-Authenticate");
-        Unirest.shutDown();
 
         String type = "";
 
@@ -121,7 +191,8 @@ public class ImageTag {
         return rtn;
     }
 
-    private static String getAuthToken(String[] authService, String image, String user, String password) {
+    private static String getAuthToken(UnirestInstance unirest, String[] authService, List<String> images,
+                                       String user, String password) {
 
         String type = authService[0];
         String token = "";
@@ -135,9 +206,7 @@ public class ImageTag {
         String realm = authService[1];
         String service = authService[2];
 
-        Unirest.config().reset();
-        Unirest.config().enableCookieManagement(false).interceptor(errorInterceptor);
-        GetRequest request = Unirest.get(realm);
+        GetRequest request = unirest.get(realm);
         if (!user.isEmpty() && !password.isEmpty()) {
             logger.info("Basic authentication");
             request = request.basicAuth(user, password);
@@ -146,7 +215,9 @@ public class ImageTag {
         }
         HttpResponse<JsonNode> response = request
             .queryString("service", service)
-            .queryString("scope", "repository:" + image + ":pull")
+            .queryString("scope", images.stream()
+                .map(image -> "repository:" + image + ":pull")
+                .collect(Collectors.toList()))
             .asJson();
         if (response.isSuccess()) {
             JSONObject jsonObject = response.getBody().getObject();
@@ -161,32 +232,38 @@ public class ImageTag {
         } else {
             logger.warning("Token not received");
         }
-        Unirest.shutDown();
 
         return token;
     }
 
-    private static ResultContainer<List<VersionNumber>> getImageTagsFromRegistry(String image, String registry,
-                                                                                 String authType, String token) {
-        ResultContainer<List<VersionNumber>> resultContainer = new ResultContainer<>(new ArrayList<>());
+    private static HttpResponse<JsonNode> requestImageTags(UnirestInstance unirest, String image, String registry,
+                                                           String authType, String token) {
         String url = registry + "/v2/" + image + "/tags/list";
 
-        Unirest.config().reset();
-        Unirest.config().enableCookieManagement(false).interceptor(errorInterceptor);
-        HttpResponse<JsonNode> response = Unirest.get(url)
+        return unirest.get(url)
             .header("Authorization", authType + " " + token)
             .asJson();
+    }
+
+    private static ResultContainer<List<String>> getImageTagsFromResponse(HttpResponse<JsonNode> response) {
+        ResultContainer<List<String>> resultContainer = new ResultContainer<>(new ArrayList<>());
+
         if (response.isSuccess()) {
             logger.info("HTTP status: " + response.getStatusText());
             response.getBody().getObject()
                 .getJSONArray("tags")
-                .forEach(item -> resultContainer.getValue().add(new VersionNumber(item.toString())));
+                .forEach(item -> resultContainer.getValue().add(item.toString()));
         } else {
             logger.warning("HTTP status: " + response.getStatusText());
             resultContainer.setErrorMsg("HTTP status: " + response.getStatusText());
         }
-        Unirest.shutDown();
 
         return resultContainer;
     }
+
+    private static UnirestInstance spawnUnirest() {
+        UnirestInstance unirest = Unirest.spawnInstance();
+        unirest.config().enableCookieManagement(false).interceptor(errorInterceptor);
+        return unirest;
+    }
 }
@@ -46,6 +46,16 @@ public class ImageTagParameterConfiguration extends GlobalConfiguration {
         return defaultTagOrdering != null ? defaultTagOrdering : Ordering.NATURAL;
     }
 
+    public String getDefaultOrEmptyCredentialId(String registry, String credentialId) {
+        if (getDefaultRegistry().equals(registry) && !StringUtil.isNotNullOrEmpty(credentialId)) {
+            return getDefaultCredentialId();
+        } else if (StringUtil.isNotNullOrEmpty(credentialId)) {
+            return credentialId;
+        } else {
+            return "";
+        }
+    }
+
     @Override
     public boolean configure(StaplerRequest req, JSONObject json) {
         if (json.has("defaultRegistry")) {
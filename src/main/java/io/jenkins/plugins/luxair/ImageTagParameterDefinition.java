@@ -54,7 +54,7 @@ public class ImageTagParameterDefinition extends SimpleParameterDefinition {
         this.registry = StringUtil.isNotNullOrEmpty(registry) ? registry : config.getDefaultRegistry();
         this.filter = StringUtil.isNotNullOrEmpty(filter) ? filter : ".*";
         this.defaultTag = StringUtil.isNotNullOrEmpty(defaultTag) ? defaultTag : "";
-        this.credentialId = getDefaultOrEmptyCredentialId(this.registry, credentialId);
+        this.credentialId = config.getDefaultOrEmptyCredentialId(this.registry, credentialId);
         this.tagOrder = tagOrder != null ? tagOrder : config.getDefaultTagOrdering();
     }
 
@@ -102,16 +102,6 @@ public class ImageTagParameterDefinition extends SimpleParameterDefinition {
         this.errorMsg = errorMsg;
     }
 
-    private String getDefaultOrEmptyCredentialId(String registry, String credentialId) {
-        if (registry.equals(config.getDefaultRegistry()) && !StringUtil.isNotNullOrEmpty(credentialId)) {
-            return config.getDefaultCredentialId();
-        } else if (StringUtil.isNotNullOrEmpty(credentialId)) {
-            return credentialId;
-        } else {
-            return "";
-        }
-    }
-
     public List<String> getTags() {
         String user = "";
         String password = "";
@@ -122,7 +112,7 @@ public class ImageTagParameterDefinition extends SimpleParameterDefinition {
             password = credential.getPassword().getPlainText();
         }
 
-        ResultContainer<List<String>> resultContainer = ImageTag.getTags(image, registry, filter, user, password, tagOrder);
+        ResultContainer<List<String>> resultContainer = ImageTag.getTagView(image, registry, filter, user, password, tagOrder);
         Optional<String> optionalErrorMsg = resultContainer.getErrorMsg();
         if (optionalErrorMsg.isPresent()) {
             setErrorMsg(optionalErrorMsg.get());
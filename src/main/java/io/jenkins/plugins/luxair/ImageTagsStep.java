@@ -0,0 +1,252 @@
+package io.jenkins.plugins.luxair;
+
+import com.cloudbees.plugins.credentials.CredentialsProvider;
+import com.cloudbees.plugins.credentials.common.StandardListBoxModel;
+import com.cloudbees.plugins.credentials.common.StandardUsernameCredentials;
+import com.cloudbees.plugins.credentials.common.StandardUsernamePasswordCredentials;
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.Item;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.security.ACL;
+import hudson.util.ListBoxModel;
+import io.jenkins.plugins.luxair.model.Ordering;
+import io.jenkins.plugins.luxair.model.ResultContainer;
+import io.jenkins.plugins.luxair.util.StringUtil;
+import jenkins.model.Jenkins;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import org.jenkinsci.plugins.workflow.steps.Step;
+import org.jenkinsci.plugins.workflow.steps.StepContext;
+import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
+import org.jenkinsci.plugins.workflow.steps.StepExecution;
+import org.jenkinsci.plugins.workflow.steps.SynchronousNonBlockingStepExecution;
+import org.kohsuke.stapler.AncestorInPath;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerRequest;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+
+public class ImageTagsStep extends Step {
+
+    private final List<String> images;
+    private String registry;
+    private String filter;
+    private String credentialId;
+    private Ordering ordering;
+    private int limit = 0;
+
+    @DataBoundConstructor
+    public ImageTagsStep(List<String> images) {
+        this.images = images != null
+            ? images.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(StringUtil::isNotNullOrEmpty)
+                .distinct()
+                .collect(Collectors.toList())
+            : Collections.emptyList();
+    }
+
+    public List<String> getImages() {
+        return images;
+    }
+
+    public String getRegistry() {
+        return registry;
+    }
+
+    @DataBoundSetter
+    public void setRegistry(String registry) {
+        this.registry = Util.fixEmptyAndTrim(registry);
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    @DataBoundSetter
+    public void setFilter(String filter) {
+        this.filter = Util.fixEmpty(filter);
+    }
+
+    public String getCredentialId() {
+        return credentialId;
+    }
+
+    @DataBoundSetter
+    public void setCredentialId(String credentialId) {
+        this.credentialId = Util.fixEmptyAndTrim(credentialId);
+    }
+
+    public Ordering getOrdering() {
+        return ordering;
+    }
+
+    @DataBoundSetter
+    public void setOrdering(Ordering ordering) {
+        this.ordering = ordering;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    @DataBoundSetter
+    public void setLimit(int limit) {
+        this.limit = Math.max(limit, 0);
+    }
+
+    @Override
+    public StepExecution start(StepContext context) {
+        return new Execution(this, context);
+    }
+
+    private static class Execution extends SynchronousNonBlockingStepExecution<Map<String, List<String>>> {
+
+        private static final long serialVersionUID = 4839201745823L;
+
+        private final transient ImageTagsStep step;
+
+        private Execution(ImageTagsStep step, StepContext context) {
+            super(context);
+            this.step = step;
+        }
+
+        @Override
+        protected Map<String, List<String>> run() throws Exception {
+            if (step.getImages().isEmpty()) {
+                throw new AbortException("No images given to list the tags of");
+            }
+
+            ImageTagParameterConfiguration config = ImageTagParameterConfiguration.get();
+            String registry = StringUtil.isNotNullOrEmpty(step.getRegistry())
+                ? step.getRegistry() : config.getDefaultRegistry();
+            String filter = StringUtil.isNotNullOrEmpty(step.getFilter()) ? step.getFilter() : ".*";
+            String credentialId = config.getDefaultOrEmptyCredentialId(registry, step.getCredentialId());
+            Ordering ordering = step.getOrdering() != null ? step.getOrdering() : config.getDefaultTagOrdering();
+
+            TaskListener listener = getContext().get(TaskListener.class);
+            String user = "";
+            String password = "";
+
+            if (StringUtil.isNotNullOrEmpty(credentialId)) {
+                StandardUsernamePasswordCredentials credential = CredentialsProvider.findCredentialById(
+                    credentialId, StandardUsernamePasswordCredentials.class, getContext().get(Run.class));
+                if (credential == null) {
+                    throw new AbortException("Cannot find credential for :" + credentialId + ":");
+                }
+                user = credential.getUsername();
+                password = credential.getPassword().getPlainText();
+            }
+
+            listener.getLogger().println("Listing tags of " + step.getImages().size() + " images from " + registry);
+            Map<String, ResultContainer<List<String>>> results = ImageTag.getTags(step.getImages(),
+                registry, filter, user, password, ordering);
+
+            Map<String, List<String>> tags = new LinkedHashMap<>();
+            List<String> errors = new ArrayList<>();
+            for (Map.Entry<String, ResultContainer<List<String>>> result : results.entrySet()) {
+                if (result.getValue().getErrorMsg().isPresent()) {
+                    errors.add(result.getKey() + ": " + result.getValue().getErrorMsg().get());
+                    continue;
+                }
+                List<String> imageTags = result.getValue().getValue();
+                if (step.getLimit() > 0 && imageTags.size() > step.getLimit()) {
+                    imageTags = imageTags.subList(0, step.getLimit());
+                }
+                tags.put(result.getKey(), new ArrayList<>(imageTags));
+            }
+
+            if (results.size() < step.getImages().size()) {
+                errors.add("Listing of image tags was interrupted");
+            }
+            if (!errors.isEmpty()) {
+                throw new AbortException("Unable to list image tags:\n" + String.join("\n", errors));
+            }
+            return tags;
+        }
+    }
+
+    @Extension
+    public static class DescriptorImpl extends StepDescriptor {
+
+        private static final List<String> OPTIONAL_FIELDS =
+            Arrays.asList("registry", "filter", "credentialId", "ordering", "limit");
+
+        @Override
+        public String getFunctionName() {
+            return "imageTags";
+        }
+
+        @Override
+        @Nonnull
+        public String getDisplayName() {
+            return "List the tags of multiple images";
+        }
+
+        @Override
+        public Set<? extends Class<?>> getRequiredContext() {
+            return new HashSet<>(Arrays.asList(Run.class, TaskListener.class));
+        }
+
+        @Override
+        public Step newInstance(StaplerRequest req, @Nonnull JSONObject formData) throws FormException {
+            // the form lists the images one per line
+            Object images = formData.opt("images");
+            if (images instanceof String) {
+                formData.put("images", JSONArray.fromObject(((String) images).split("\\s+")));
+            }
+            // fields left empty fall back to the global configuration, so they must not end up in the snippet
+            for (String field : OPTIONAL_FIELDS) {
+                if ("".equals(formData.opt(field))) {
+                    formData.remove(field);
+                }
+            }
+            return super.newInstance(req, formData);
+        }
+
+        @SuppressWarnings("unused")
+        public String getImagesText(ImageTagsStep step) {
+            return step != null ? String.join("\n", step.getImages()) : "";
+        }
+
+        @SuppressWarnings("unused")
+        public Ordering[] getOrderings() {
+            return Ordering.values();
+        }
+
+        @SuppressWarnings("unused")
+        public Ordering getDefaultTagOrdering() {
+            return ImageTagParameterConfiguration.get().getDefaultTagOrdering();
+        }
+
+        @SuppressWarnings("unused")
+        public ListBoxModel doFillCredentialIdItems(@AncestorInPath Item context,
+                                                    @QueryParameter String credentialId) {
+            if (context == null && !Jenkins.get().hasPermission(Jenkins.ADMINISTER) ||
+                context != null && !context.hasPermission(Item.EXTENDED_READ)) {
+                return new StandardListBoxModel().includeCurrentValue(credentialId);
+            }
+            return new StandardListBoxModel()
+                .includeEmptyValue()
+                .includeAs(ACL.SYSTEM, context, StandardUsernameCredentials.class)
+                .includeCurrentValue(credentialId);
+        }
+    }
+}
\ No newline at end of file
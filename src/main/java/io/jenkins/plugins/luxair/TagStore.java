@@ -0,0 +1,58 @@
+package io.jenkins.plugins.luxair;
+
+import io.jenkins.plugins.luxair.model.TagList;
+
+import java.lang.ref.SoftReference;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+
+public class TagStore {
+
+    private static final Logger logger = Logger.getLogger(TagStore.class.getName());
+    static final int MAX_ENTRIES = 256;
+
+    // least recently used images are evicted first, and the GC may reclaim any tag list under memory pressure
+    private static final Map<String, SoftReference<TagList>> store =
+        new LinkedHashMap<String, SoftReference<TagList>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SoftReference<TagList>> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+
+    private TagStore() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns the canonical {@link TagList} for the given image, replacing the stored one only if the tags changed.
+     */
+    public static TagList update(String registry, String image, Collection<String> tags) {
+        String key = registry + "/" + image;
+        synchronized (store) {
+            SoftReference<TagList> reference = store.get(key);
+            TagList current = reference != null ? reference.get() : null;
+            if (current != null && current.sameSortedTags(tags)) {
+                logger.fine("Reusing stored tags for " + key);
+                return current;
+            }
+
+            TagList fetched = TagList.of(tags);
+            if (fetched.sameTags(current)) {
+                logger.fine("Reusing stored tags for " + key);
+                return current;
+            }
+            store.put(key, new SoftReference<>(fetched));
+            return fetched;
+        }
+    }
+
+    static int size() {
+        synchronized (store) {
+            return store.size();
+        }
+    }
+}
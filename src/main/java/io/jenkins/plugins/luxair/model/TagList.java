@@ -0,0 +1,148 @@
+package io.jenkins.plugins.luxair.model;
+
+import hudson.util.VersionNumber;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, naturally sorted set of image tags.
+ * Filtered results are index views over the shared tag array, so no per-render copies of the tags are made.
+ */
+public final class TagList {
+
+    private final String[] tags;
+    private volatile int[] ascVersionOrder;
+    private volatile int[] dscVersionOrder;
+
+    private TagList(String[] tags) {
+        this.tags = tags;
+    }
+
+    public static TagList of(Collection<String> tags) {
+        return new TagList(sortedDistinct(tags));
+    }
+
+    public int size() {
+        return tags.length;
+    }
+
+    public boolean sameTags(TagList other) {
+        return other != null && Arrays.equals(tags, other.tags);
+    }
+
+    /**
+     * Checks whether the given tags are the ones of this list in natural order, without copying them.
+     * Registries usually return their tags sorted, so this avoids building a new list for unchanged tags.
+     */
+    public boolean sameSortedTags(Collection<String> other) {
+        if (other.size() != tags.length) {
+            return false;
+        }
+        Iterator<String> iterator = other.iterator();
+        for (String tag : tags) {
+            if (!tag.equals(iterator.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<String> filter(String filter, Ordering ordering) {
+        Pattern pattern = Pattern.compile(filter);
+        int[] order = null;
+        if (ordering == Ordering.ASC_VERSION) {
+            order = getAscVersionOrder();
+        } else if (ordering == Ordering.DSC_VERSION) {
+            order = getDscVersionOrder();
+        }
+        boolean reversed = ordering == Ordering.NATURAL;
+
+        int[] matches = new int[tags.length];
+        int count = 0;
+        for (int i = 0; i < tags.length; i++) {
+            int index = reversed ? tags.length - 1 - i : i;
+            if (order != null) {
+                index = order[index];
+            }
+            if (pattern.matcher(tags[index]).matches()) {
+                matches[count++] = index;
+            }
+        }
+        return new View(tags, Arrays.copyOf(matches, count));
+    }
+
+    private int[] getAscVersionOrder() {
+        int[] order = ascVersionOrder;
+        if (order == null) {
+            order = versionOrder(VersionNumber::compareTo);
+            ascVersionOrder = order;
+        }
+        return order;
+    }
+
+    private int[] getDscVersionOrder() {
+        int[] order = dscVersionOrder;
+        if (order == null) {
+            order = versionOrder(VersionNumber.DESCENDING);
+            dscVersionOrder = order;
+        }
+        return order;
+    }
+
+    private int[] versionOrder(Comparator<VersionNumber> comparator) {
+        VersionNumber[] versions = Arrays.stream(tags).map(VersionNumber::new).toArray(VersionNumber[]::new);
+        return IntStream.range(0, tags.length)
+            .boxed()
+            .sorted((a, b) -> comparator.compare(versions[a], versions[b]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    private static String[] sortedDistinct(Collection<String> tags) {
+        String[] sorted = tags.toArray(new String[0]);
+        Arrays.sort(sorted);
+        int count = 0;
+        for (String tag : sorted) {
+            if (count == 0 || !sorted[count - 1].equals(tag)) {
+                sorted[count++] = tag;
+            }
+        }
+        return count == sorted.length ? sorted : Arrays.copyOf(sorted, count);
+    }
+
+    private static final class View extends AbstractList<String> implements RandomAccess, Serializable {
+        private static final long serialVersionUID = 7305712094861L;
+
+        private final String[] tags;
+        private final int[] indices;
+
+        private View(String[] tags, int[] indices) {
+            this.tags = tags;
+            this.indices = indices;
+        }
+
+        @Override
+        public String get(int index) {
+            return tags[indices[index]];
+        }
+
+        @Override
+        public int size() {
+            return indices.length;
+        }
+
+        private Object writeReplace() {
+            return new ArrayList<>(this);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package io.jenkins.plugins.luxair;
+
+import io.jenkins.plugins.luxair.model.Ordering;
+import io.jenkins.plugins.luxair.model.ResultContainer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class ImageTagTest {
+
+    private StubRegistry registry;
+
+    @Before
+    public void startRegistry() throws Exception {
+        registry = new StubRegistry();
+        registry.addImage("team/one", "1.0", "1.10", "1.2");
+        registry.addImage("team/two", "2.0", "latest");
+    }
+
+    @After
+    public void stopRegistry() {
+        registry.close();
+    }
+
+    @Test
+    public void singleImage() {
+        ResultContainer<List<String>> result = ImageTag.getTags("team/one", registry.getUrl(), ".*",
+            "", "", Ordering.DSC_VERSION);
+        assertFalse(result.getErrorMsg().isPresent());
+        assertEquals(Arrays.asList("1.10", "1.2", "1.0"), result.getValue());
+        assertTrue(result.getValue() instanceof ArrayList);
+    }
+
+    @Test
+    public void bulkSharesOneToken() {
+        Map<String, ResultContainer<List<String>>> results = ImageTag.getTags(Arrays.asList("team/one", "team/two"),
+            registry.getUrl(), ".*", "", "", Ordering.NATURAL);
+
+        assertEquals(Arrays.asList("team/one", "team/two"), Arrays.asList(results.keySet().toArray()));
+        assertEquals(Arrays.asList("1.2", "1.10", "1.0"), results.get("team/one").getValue());
+        assertEquals(Arrays.asList("latest", "2.0"), results.get("team/two").getValue());
+        assertEquals(1, registry.getTokenRequests());
+    }
+
+    @Test
+    public void bulkFallsBackToDedicatedToken() {
+        registry.setSingleScopeTokens(true);
+        Map<String, ResultContainer<List<String>>> results = ImageTag.getTags(Arrays.asList("team/one", "team/two"),
+            registry.getUrl(), ".*", "", "", Ordering.NATURAL);
+
+        assertFalse(results.get("team/one").getErrorMsg().isPresent());
+        assertFalse(results.get("team/two").getErrorMsg().isPresent());
+        assertEquals(Arrays.asList("latest", "2.0"), results.get("team/two").getValue());
+        assertEquals(2, registry.getTokenRequests());
+    }
+
+    @Test
+    public void bulkReportsErrorsPerImage() {
+        Map<String, ResultContainer<List<String>>> results = ImageTag.getTags(
+            Arrays.asList("team/one", "team/missing"), registry.getUrl(), ".*", "", "", Ordering.NATURAL);
+
+        assertFalse(results.get("team/one").getErrorMsg().isPresent());
+        assertTrue(results.get("team/missing").getErrorMsg().isPresent());
+        assertTrue(results.get("team/missing").getValue().isEmpty());
+        assertEquals(1, registry.getTokenRequests());
+    }
+
+    @Test
+    public void bulkReportsInvalidFilter() {
+        Map<String, ResultContainer<List<String>>> results = ImageTag.getTags(
+            Collections.singletonList("team/one"), registry.getUrl(), "[", "", "", Ordering.NATURAL);
+
+        assertTrue(results.get("team/one").getErrorMsg().orElse("").startsWith("Invalid tag filter"));
+    }
+
+    @Test
+    public void bulkStopsWhenInterrupted() throws Exception {
+        CountDownLatch listingStarted = new CountDownLatch(1);
+        registry.blockListing(listingStarted);
+        AtomicReference<Map<String, ResultContainer<List<String>>>> results = new AtomicReference<>();
+
+        Thread caller = new Thread(() -> results.set(ImageTag.getTags(Arrays.asList("team/one", "team/two"),
+            registry.getUrl(), ".*", "", "", Ordering.NATURAL)));
+        caller.start();
+        assertTrue(listingStarted.await(10, TimeUnit.SECONDS));
+        caller.interrupt();
+        caller.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(caller.isAlive());
+        assertNotNull(results.get());
+        assertTrue(results.get().size() < 2);
+    }
+}
@@ -0,0 +1,106 @@
+package io.jenkins.plugins.luxair;
+
+import hudson.model.Result;
+import io.jenkins.plugins.luxair.model.Ordering;
+import org.jenkinsci.plugins.structs.describable.DescribableModel;
+import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.jenkinsci.plugins.workflow.steps.StepConfigTester;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class ImageTagsStepTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    private StubRegistry registry;
+
+    @Before
+    public void startRegistry() throws Exception {
+        registry = new StubRegistry();
+        registry.addImage("team/one", "1.0", "1.10", "1.2");
+        registry.addImage("team/two", "2.0", "2.1", "latest");
+    }
+
+    @After
+    public void stopRegistry() {
+        registry.close();
+    }
+
+    @Test
+    public void listsLimitedTagsOfAllImages() throws Exception {
+        WorkflowRun run = runPipeline("def tags = imageTags images: ['team/one', 'team/two'], registry: '"
+            + registry.getUrl() + "', filter: '[0-9.]+', ordering: 'DSC_VERSION', limit: 1\n"
+            + "echo \"one=${tags['team/one']} two=${tags['team/two']}\"");
+
+        j.assertBuildStatusSuccess(run);
+        j.assertLogContains("one=[1.10] two=[2.1]", run);
+    }
+
+    @Test
+    public void failsOnImagesThatCanNotBeListed() throws Exception {
+        WorkflowRun run = runPipeline("imageTags images: ['team/one', 'team/missing'], registry: '"
+            + registry.getUrl() + "'");
+
+        j.assertBuildStatus(Result.FAILURE, run);
+        j.assertLogContains("Unable to list image tags", run);
+        j.assertLogContains("team/missing", run);
+    }
+
+    @Test
+    public void failsWithoutImages() throws Exception {
+        WorkflowRun run = runPipeline("imageTags images: [' '], registry: '" + registry.getUrl() + "'");
+
+        j.assertBuildStatus(Result.FAILURE, run);
+        j.assertLogContains("No images given", run);
+    }
+
+    @Test
+    public void trimsImageNames() throws Exception {
+        WorkflowRun run = runPipeline("def tags = imageTags images: [' team/one '], registry: '"
+            + registry.getUrl() + "', ordering: 'ASC_VERSION'\n"
+            + "echo \"one=${tags['team/one']}\"");
+
+        j.assertBuildStatusSuccess(run);
+        j.assertLogContains("one=[1.0, 1.2, 1.10]", run);
+    }
+
+    @Test
+    public void configRoundTripKeepsDefaultsOutOfTheSnippet() throws Exception {
+        ImageTagsStep step = new StepConfigTester(j)
+            .configRoundTrip(new ImageTagsStep(Arrays.asList("team/one", "team/two")));
+
+        assertEquals(Arrays.asList("team/one", "team/two"), step.getImages());
+        assertEquals(Collections.singleton("images"),
+            DescribableModel.uninstantiate2_(step).getArguments().keySet());
+    }
+
+    @Test
+    public void configRoundTripKeepsConfiguredValues() throws Exception {
+        ImageTagsStep before = new ImageTagsStep(Collections.singletonList("team/one"));
+        before.setRegistry(registry.getUrl());
+        before.setFilter("[0-9.]+");
+        before.setOrdering(Ordering.DSC_VERSION);
+        before.setLimit(2);
+
+        ImageTagsStep after = new StepConfigTester(j).configRoundTrip(before);
+
+        j.assertEqualDataBoundBeans(before, after);
+    }
+
+    private WorkflowRun runPipeline(String script) throws Exception {
+        WorkflowJob job = j.createProject(WorkflowJob.class);
+        job.setDefinition(new CpsFlowDefinition(script, true));
+        return job.scheduleBuild2(0).get();
+    }
+}
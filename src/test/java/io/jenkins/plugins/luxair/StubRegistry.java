@@ -0,0 +1,137 @@
+package io.jenkins.plugins.luxair;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Minimal Docker Registry HTTP API V2 with Bearer token authentication.
+ * Tokens simply list the images they grant access to.
+ */
+class StubRegistry implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Map<String, List<String>> repositories = new ConcurrentHashMap<>();
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private volatile boolean singleScopeTokens = false;
+    private volatile CountDownLatch listingStarted;
+    private volatile CountDownLatch releaseListing;
+
+    StubRegistry() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/token", this::token);
+        server.createContext("/v2/", this::v2);
+        server.start();
+    }
+
+    String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void addImage(String image, String... tags) {
+        repositories.put(image, Arrays.asList(tags));
+    }
+
+    int getTokenRequests() {
+        return tokenRequests.get();
+    }
+
+    /** Simulates a registry that only honours the first requested scope of a token. */
+    void setSingleScopeTokens(boolean singleScopeTokens) {
+        this.singleScopeTokens = singleScopeTokens;
+    }
+
+    /** Holds every tag listing until the returned latch is counted down. */
+    CountDownLatch blockListing(CountDownLatch listingStarted) {
+        this.listingStarted = listingStarted;
+        this.releaseListing = new CountDownLatch(1);
+        return releaseListing;
+    }
+
+    @Override
+    public void close() {
+        if (releaseListing != null) {
+            releaseListing.countDown();
+        }
+        server.stop(0);
+    }
+
+    private void token(HttpExchange exchange) throws IOException {
+        tokenRequests.incrementAndGet();
+        List<String> images = new ArrayList<>();
+        for (String param : exchange.getRequestURI().getRawQuery().split("&")) {
+            String[] pair = param.split("=", 2);
+            if (pair[0].equals("scope")) {
+                images.add(decode(pair[1]).replaceAll("^repository:(.*):pull$", "$1"));
+            }
+        }
+        if (singleScopeTokens && images.size() > 1) {
+            images = images.subList(0, 1);
+        }
+        respond(exchange, 200, "{\"token\":\"" + String.join(",", images) + "\"}");
+    }
+
+    private void v2(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/v2/")) {
+            exchange.getResponseHeaders().add("Www-Authenticate",
+                "Bearer realm=\"" + getUrl() + "/token\",service=\"stub\"");
+            respond(exchange, 401, "{}");
+            return;
+        }
+
+        String image = path.replaceAll("^/v2/(.*)/tags/list$", "$1");
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !Arrays.asList(authorization.replaceFirst("^Bearer ", "").split(","))
+            .contains(image)) {
+            respond(exchange, 401, "{}");
+            return;
+        }
+        List<String> tags = repositories.get(image);
+        if (tags == null) {
+            respond(exchange, 404, "{}");
+            return;
+        }
+
+        if (listingStarted != null) {
+            listingStarted.countDown();
+            try {
+                releaseListing.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        respond(exchange, 200, "{\"name\":\"" + image + "\",\"tags\":["
+            + tags.stream().map(tag -> "\"" + tag + "\"").collect(Collectors.joining(",")) + "]}");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String decode(String value) throws UnsupportedEncodingException {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+    }
+}
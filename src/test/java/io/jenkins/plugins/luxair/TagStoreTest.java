@@ -0,0 +1,38 @@
+package io.jenkins.plugins.luxair;
+
+import io.jenkins.plugins.luxair.model.Ordering;
+import io.jenkins.plugins.luxair.model.TagList;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TagStoreTest {
+
+    @Test
+    public void unchangedTagsReuseStoredList() {
+        // the store only holds its lists softly, so keep strong references while comparing them
+        TagList first = TagStore.update("https://store.test", "reuse", Arrays.asList("2.0", "1.0"));
+        TagList sorted = TagStore.update("https://store.test", "reuse", Arrays.asList("1.0", "2.0"));
+        TagList unsorted = TagStore.update("https://store.test", "reuse", Arrays.asList("2.0", "1.0"));
+        assertSame(first, sorted);
+        assertSame(first, unsorted);
+
+        TagList changed = TagStore.update("https://store.test", "reuse", Arrays.asList("1.0", "3.0"));
+        assertNotSame(first, changed);
+        assertEquals(Arrays.asList("1.0", "3.0"), changed.filter(".*", Ordering.REV_NATURAL));
+    }
+
+    @Test
+    public void storeIsBounded() {
+        for (int i = 0; i < TagStore.MAX_ENTRIES * 2; i++) {
+            TagStore.update("https://store.test", "image" + i, Collections.singletonList("latest"));
+        }
+        assertTrue(TagStore.size() <= TagStore.MAX_ENTRIES);
+    }
+}
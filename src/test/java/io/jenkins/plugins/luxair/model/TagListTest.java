@@ -0,0 +1,107 @@
+package io.jenkins.plugins.luxair.model;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TagListTest {
+
+    private static final List<String> TAGS = Arrays.asList("1.10", "latest", "1.2", "1.9.1", "2.0");
+    private static final List<String> VERSIONS = Arrays.asList("1.10", "1.2", "1.9.1", "2.0");
+
+    @Test
+    public void naturalOrderingIsDescending() {
+        assertEquals(Arrays.asList("latest", "2.0", "1.9.1", "1.2", "1.10"),
+            TagList.of(TAGS).filter(".*", Ordering.NATURAL));
+    }
+
+    @Test
+    public void reverseNaturalOrderingIsAscending() {
+        assertEquals(Arrays.asList("1.10", "1.2", "1.9.1", "2.0", "latest"),
+            TagList.of(TAGS).filter(".*", Ordering.REV_NATURAL));
+    }
+
+    @Test
+    public void ascendingVersionOrdering() {
+        assertEquals(Arrays.asList("1.2", "1.9.1", "1.10", "2.0"),
+            TagList.of(VERSIONS).filter(".*", Ordering.ASC_VERSION));
+    }
+
+    @Test
+    public void descendingVersionOrdering() {
+        assertEquals(Arrays.asList("2.0", "1.10", "1.9.1", "1.2"),
+            TagList.of(VERSIONS).filter(".*", Ordering.DSC_VERSION));
+    }
+
+    @Test
+    public void equalVersionsKeepNaturalOrder() {
+        List<String> tags = Arrays.asList("1.0.0", "2.0", "1.0");
+        assertEquals(Arrays.asList("1.0", "1.0.0", "2.0"), TagList.of(tags).filter(".*", Ordering.ASC_VERSION));
+        assertEquals(Arrays.asList("2.0", "1.0", "1.0.0"), TagList.of(tags).filter(".*", Ordering.DSC_VERSION));
+    }
+
+    @Test
+    public void filterIsAppliedToEveryOrdering() {
+        TagList tagList = TagList.of(TAGS);
+        for (Ordering ordering : Ordering.values()) {
+            assertEquals(ordering.name(), 2, tagList.filter("1\\.[0-9]+", ordering).size());
+        }
+        assertEquals(Arrays.asList("1.10", "1.2"), tagList.filter("1\\.[0-9]+", Ordering.REV_NATURAL));
+    }
+
+    @Test
+    public void filterMatchingNothingIsEmpty() {
+        TagList tagList = TagList.of(TAGS);
+        for (Ordering ordering : Ordering.values()) {
+            assertTrue(ordering.name(), tagList.filter("nothing", ordering).isEmpty());
+        }
+    }
+
+    @Test
+    public void duplicateTagsAreRemoved() {
+        assertEquals(2, TagList.of(Arrays.asList("b", "a", "b")).size());
+    }
+
+    @Test
+    public void sameTagsIgnoresOrder() {
+        TagList tagList = TagList.of(TAGS);
+        assertTrue(tagList.sameTags(TagList.of(Arrays.asList("1.10", "1.2", "1.9.1", "2.0", "latest"))));
+        assertFalse(tagList.sameTags(TagList.of(VERSIONS)));
+        assertFalse(tagList.sameTags(null));
+    }
+
+    @Test
+    public void sameSortedTagsRequiresNaturalOrder() {
+        TagList tagList = TagList.of(TAGS);
+        assertTrue(tagList.sameSortedTags(Arrays.asList("1.10", "1.2", "1.9.1", "2.0", "latest")));
+        assertFalse(tagList.sameSortedTags(TAGS));
+        assertFalse(tagList.sameSortedTags(Arrays.asList("1.10", "1.2", "1.9.1", "2.0", "lts")));
+        assertFalse(tagList.sameSortedTags(Collections.emptyList()));
+    }
+
+    @Test
+    public void filteredTagsSerializeAsArrayList() throws Exception {
+        List<String> tags = TagList.of(TAGS).filter("1\\..*", Ordering.REV_NATURAL);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(tags);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Object copy = in.readObject();
+            assertTrue(copy instanceof ArrayList);
+            assertEquals(tags, copy);
+        }
+    }
+}